@@ -201,10 +201,15 @@ public class ColorInterpolationComparison extends ApplicationAdapter {
         else
             Gdx.gl.glClearColor(1f, 1f, 1f, 1f);
         Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
-        stage.act();
+        stage.act(getActDelta());
         stage.draw();
     }
 
+    /** @return The time step passed to the stage each frame. Matches {@link Stage#act()} by default. */
+    protected float getActDelta () {
+        return Math.min(Gdx.graphics.getDeltaTime(), 1 / 30f);
+    }
+
     @Override
     public void dispose() {
         stage.dispose();
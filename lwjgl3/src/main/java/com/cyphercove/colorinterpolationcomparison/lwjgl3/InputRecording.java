@@ -0,0 +1,143 @@
+package com.cyphercove.colorinterpolationcomparison.lwjgl3;
+
+import com.badlogic.gdx.InputProcessor;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+
+/**
+ * A sequence of input events captured from the {@link com.badlogic.gdx.scenes.scene2d.Stage}, along with the window size
+ * they were captured at so screen coordinates stay meaningful on replay.
+ * <p>
+ * Stored as plain text: a {@code size <width> <height>} header followed by one event per line in the form
+ * {@code <nanos> <frame> <type> <args...>}, where nanos and frame are relative to the start of recording.
+ */
+public class InputRecording {
+	public enum Type {
+		TOUCH_DOWN(4), TOUCH_DRAGGED(3), TOUCH_UP(4), KEY_DOWN(1), KEY_UP(1), KEY_TYPED(1);
+
+		/** The number of int arguments the event carries. */
+		public final int arity;
+
+		Type(int arity) {
+			this.arity = arity;
+		}
+	}
+
+	public static class Event {
+		public final long nanos;
+		public final int frame;
+		public final Type type;
+		public final int[] args;
+
+		public Event(long nanos, int frame, Type type, int... args) {
+			this.nanos = nanos;
+			this.frame = frame;
+			this.type = type;
+			this.args = args;
+		}
+
+		/** Feeds this event to the processor as if it came from the backend. */
+		public void dispatch(InputProcessor processor) {
+			switch (type) {
+				case TOUCH_DOWN:
+					processor.touchDown(args[0], args[1], args[2], args[3]);
+					break;
+				case TOUCH_DRAGGED:
+					processor.touchDragged(args[0], args[1], args[2]);
+					break;
+				case TOUCH_UP:
+					processor.touchUp(args[0], args[1], args[2], args[3]);
+					break;
+				case KEY_DOWN:
+					processor.keyDown(args[0]);
+					break;
+				case KEY_UP:
+					processor.keyUp(args[0]);
+					break;
+				case KEY_TYPED:
+					processor.keyTyped((char) args[0]);
+					break;
+			}
+		}
+	}
+
+	public final int width;
+	public final int height;
+	public final Array<Event> events = new Array<>();
+
+	public InputRecording(int width, int height) {
+		this.width = width;
+		this.height = height;
+	}
+
+	public void save(File file) {
+		try (BufferedWriter writer = new BufferedWriter(new FileWriter(file))) {
+			writer.write("size " + width + " " + height);
+			writer.newLine();
+			for (Event event : events) {
+				StringBuilder line = new StringBuilder();
+				line.append(event.nanos).append(' ').append(event.frame).append(' ').append(event.type);
+				for (int arg : event.args) {
+					line.append(' ').append(arg);
+				}
+				writer.write(line.toString());
+				writer.newLine();
+			}
+		} catch (IOException e) {
+			throw new GdxRuntimeException("Could not write input recording: " + file, e);
+		}
+	}
+
+	public static InputRecording load(File file) {
+		try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+			String header = reader.readLine();
+			String[] size = header == null ? new String[0] : header.split(" ");
+			if (size.length != 3 || !size[0].equals("size"))
+				throw new GdxRuntimeException("Missing size header in input recording: " + file);
+			InputRecording recording = new InputRecording(Integer.parseInt(size[1]), Integer.parseInt(size[2]));
+			String line;
+			int lineNumber = 1;
+			while ((line = reader.readLine()) != null) {
+				lineNumber++;
+				if (line.isEmpty())
+					continue;
+				recording.events.add(parseEvent(line, file, lineNumber));
+			}
+			return recording;
+		} catch (IOException | NumberFormatException e) {
+			throw new GdxRuntimeException("Could not read input recording: " + file, e);
+		}
+	}
+
+	private static Event parseEvent(String line, File file, int lineNumber) {
+		String[] tokens = line.split(" ");
+		if (tokens.length < 3)
+			throw new GdxRuntimeException("Truncated event at " + file + ":" + lineNumber + ": " + line);
+		Type type;
+		try {
+			type = Type.valueOf(tokens[2]);
+		} catch (IllegalArgumentException e) {
+			throw new GdxRuntimeException("Unknown event type at " + file + ":" + lineNumber + ": " + line);
+		}
+		if (tokens.length - 3 != type.arity) {
+			throw new GdxRuntimeException(type + " takes " + type.arity + " arguments but has " + (tokens.length - 3) +
+					" at " + file + ":" + lineNumber + ": " + line);
+		}
+		try {
+			int[] args = new int[type.arity];
+			for (int i = 0; i < args.length; i++) {
+				args[i] = Integer.parseInt(tokens[i + 3]);
+			}
+			return new Event(Long.parseLong(tokens[0]), Integer.parseInt(tokens[1]), type, args);
+		} catch (NumberFormatException e) {
+			throw new GdxRuntimeException("Malformed number at " + file + ":" + lineNumber + ": " + line, e);
+		}
+	}
+}
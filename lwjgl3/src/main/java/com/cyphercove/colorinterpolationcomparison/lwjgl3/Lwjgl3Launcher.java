@@ -4,16 +4,65 @@ import com.badlogic.gdx.backends.lwjgl3.Lwjgl3Application;
 import com.badlogic.gdx.backends.lwjgl3.Lwjgl3ApplicationConfiguration;
 import com.cyphercove.colorinterpolationcomparison.ColorInterpolationComparison;
 
-/** Launches the desktop (LWJGL3) application. */
+import java.io.File;
+
+/**
+ * Launches the desktop (LWJGL3) application.
+ * <p>
+ * Pass {@code --record <file>} to capture stage input to a file, or {@code --replay <file> [--timing fixed|original]
+ * [--report <file>]} to play a capture back and write per-frame timings.
+ */
 public class Lwjgl3Launcher {
 	public static void main(String[] args) {
-		createApplication();
+		createApplication(args);
 	}
 
-	private static Lwjgl3Application createApplication() {
+	private static Lwjgl3Application createApplication(String[] args) {
+		String recordPath = argument(args, "--record");
+		String replayPath = argument(args, "--replay");
+		if (recordPath != null && replayPath != null)
+			throw new IllegalArgumentException("--record and --replay can't be used together.");
+		if (replayPath == null && (argument(args, "--timing") != null || argument(args, "--report") != null))
+			throw new IllegalArgumentException("--timing and --report require --replay.");
+		if (recordPath != null) {
+			Lwjgl3ApplicationConfiguration configuration = getDefaultConfiguration();
+			configuration.setResizable(false);
+			return new Lwjgl3Application(new RecordingComparison(new File(recordPath)), configuration);
+		}
+		if (replayPath != null) {
+			ReplayingComparison.Timing timing = parseTiming(argument(args, "--timing"));
+			InputRecording recording = InputRecording.load(new File(replayPath));
+			String reportPath = argument(args, "--report");
+			Lwjgl3ApplicationConfiguration configuration = getDefaultConfiguration();
+			configuration.setWindowedMode(recording.width, recording.height);
+			configuration.setResizable(false);
+			return new Lwjgl3Application(new ReplayingComparison(recording, timing,
+					new File(reportPath == null ? replayPath + ".csv" : reportPath)), configuration);
+		}
 		return new Lwjgl3Application(new ColorInterpolationComparison(), getDefaultConfiguration());
 	}
 
+	private static ReplayingComparison.Timing parseTiming(String timing) {
+		if (timing == null)
+			return ReplayingComparison.Timing.FIXED;
+		for (ReplayingComparison.Timing value : ReplayingComparison.Timing.values()) {
+			if (value.name().equalsIgnoreCase(timing))
+				return value;
+		}
+		throw new IllegalArgumentException("Unknown --timing '" + timing + "'. Expected fixed|original.");
+	}
+
+	private static String argument(String[] args, String name) {
+		for (int i = 0; i < args.length; i++) {
+			if (args[i].equals(name)) {
+				if (i + 1 == args.length || args[i + 1].startsWith("--"))
+					throw new IllegalArgumentException(name + " requires a value.");
+				return args[i + 1];
+			}
+		}
+		return null;
+	}
+
 	private static Lwjgl3ApplicationConfiguration getDefaultConfiguration() {
 		Lwjgl3ApplicationConfiguration configuration = new Lwjgl3ApplicationConfiguration();
 		configuration.setTitle("ColorInterpolationComparison");
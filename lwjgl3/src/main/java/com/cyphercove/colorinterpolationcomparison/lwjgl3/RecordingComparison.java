@@ -0,0 +1,111 @@
+package com.cyphercove.colorinterpolationcomparison.lwjgl3;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.InputProcessor;
+import com.cyphercove.colorinterpolationcomparison.ColorInterpolationComparison;
+import com.cyphercove.colorinterpolationcomparison.lwjgl3.InputRecording.Event;
+import com.cyphercove.colorinterpolationcomparison.lwjgl3.InputRecording.Type;
+
+import java.io.File;
+
+/**
+ * Runs the app normally while capturing every touch and key event sent to the stage. The recording is written to
+ * {@code file} when the app exits so it can be fed back by {@link ReplayingComparison}.
+ * <p>
+ * Only the event stream is captured. State that widgets poll from {@link com.badlogic.gdx.Input} directly, such as the
+ * modifier keys read by {@code UIUtils.ctrl()} and {@code UIUtils.shift()}, is not, so hex field edits that rely on
+ * modifiers (select all, paste, shift-selection) will replay differently. Likewise, the text field repeats held
+ * arrow, Home and End keys from a {@link com.badlogic.gdx.utils.Timer} task that calls its listener directly, so those
+ * repeats are not recorded. Plain hex typing replays faithfully.
+ */
+public class RecordingComparison extends ColorInterpolationComparison {
+	private final File file;
+	private InputRecording recording;
+	private long startNanos;
+	private int frame;
+
+	public RecordingComparison(File file) {
+		this.file = file;
+	}
+
+	@Override
+	public void create() {
+		super.create();
+		recording = new InputRecording(Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
+		Gdx.input.setInputProcessor(new RecordingInputProcessor(Gdx.input.getInputProcessor()));
+		// Render every frame so recorded frame indices count real frames, including ones without input.
+		Gdx.graphics.setContinuousRendering(true);
+		startNanos = System.nanoTime();
+	}
+
+	@Override
+	public void render() {
+		super.render();
+		frame++;
+	}
+
+	@Override
+	public void dispose() {
+		super.dispose();
+		recording.save(file);
+		Gdx.app.log("Recording", "Saved " + recording.events.size + " events to " + file);
+	}
+
+	private void record(Type type, int... args) {
+		recording.events.add(new Event(System.nanoTime() - startNanos, frame, type, args));
+	}
+
+	private class RecordingInputProcessor implements InputProcessor {
+		private final InputProcessor delegate;
+
+		RecordingInputProcessor(InputProcessor delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public boolean keyDown(int keycode) {
+			record(Type.KEY_DOWN, keycode);
+			return delegate.keyDown(keycode);
+		}
+
+		@Override
+		public boolean keyUp(int keycode) {
+			record(Type.KEY_UP, keycode);
+			return delegate.keyUp(keycode);
+		}
+
+		@Override
+		public boolean keyTyped(char character) {
+			record(Type.KEY_TYPED, character);
+			return delegate.keyTyped(character);
+		}
+
+		@Override
+		public boolean touchDown(int screenX, int screenY, int pointer, int button) {
+			record(Type.TOUCH_DOWN, screenX, screenY, pointer, button);
+			return delegate.touchDown(screenX, screenY, pointer, button);
+		}
+
+		@Override
+		public boolean touchUp(int screenX, int screenY, int pointer, int button) {
+			record(Type.TOUCH_UP, screenX, screenY, pointer, button);
+			return delegate.touchUp(screenX, screenY, pointer, button);
+		}
+
+		@Override
+		public boolean touchDragged(int screenX, int screenY, int pointer) {
+			record(Type.TOUCH_DRAGGED, screenX, screenY, pointer);
+			return delegate.touchDragged(screenX, screenY, pointer);
+		}
+
+		@Override
+		public boolean mouseMoved(int screenX, int screenY) {
+			return delegate.mouseMoved(screenX, screenY);
+		}
+
+		@Override
+		public boolean scrolled(int amount) {
+			return delegate.scrolled(amount);
+		}
+	}
+}
@@ -0,0 +1,276 @@
+package com.cyphercove.colorinterpolationcomparison.lwjgl3;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.InputProcessor;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.scenes.scene2d.Group;
+import com.badlogic.gdx.scenes.scene2d.Stage;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.LongArray;
+import com.badlogic.gdx.utils.Timer;
+import com.cyphercove.colorinterpolationcomparison.BasicColorPicker2;
+import com.cyphercove.colorinterpolationcomparison.ColorInterpolationComparison;
+import com.cyphercove.colorinterpolationcomparison.lwjgl3.InputRecording.Event;
+import com.kotcrab.vis.ui.widget.color.ColorPickerListener;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+
+/**
+ * Feeds an {@link InputRecording} back into the stage and measures each frame: the time spent dispatching input plus
+ * rendering, the interval since the previous frame started (which includes buffer swap and vsync waits), the number of
+ * {@link ColorPickerListener#changed(Color)} calls from the color pickers, and the bytes allocated on the render
+ * thread. Live input is ignored while replaying. When the recording is exhausted, a per-frame CSV report is written to
+ * {@code reportFile}, a summary is logged, and the app exits.
+ */
+public class ReplayingComparison extends ColorInterpolationComparison {
+	/** Stage time step per frame in {@link Timing#FIXED} mode. */
+	public static final float FIXED_STEP = 1 / 60f;
+
+	public enum Timing {
+		/**
+		 * Each rendered frame dispatches the events of the next recorded frame, regardless of wall-clock time.
+		 * Recordings are made with continuous rendering, so frames without input (pauses mid-drag, animation frames)
+		 * are replayed too, starting from the first recorded frame. The stage is stepped by {@link #FIXED_STEP} and
+		 * {@link Timer} tasks (tooltip delays, text field key repeat and cursor blink) are paused, so the UI state
+		 * after each frame doesn't depend on how fast the machine is.
+		 */
+		FIXED,
+		/** Events are dispatched once as much time has passed since the start as when they were recorded. */
+		ORIGINAL
+	}
+
+	private final InputRecording recording;
+	private final Timing timing;
+	private final File reportFile;
+
+	private InputProcessor stageProcessor;
+	private com.sun.management.ThreadMXBean allocationBean;
+	private long startNanos;
+	private int nextEvent;
+	private int fixedFrame;
+	private int changedCount;
+	private long lastFrameStart;
+	private boolean primed;
+	private boolean finished;
+
+	private final LongArray frameNanos;
+	private final LongArray frameIntervals;
+	private final IntArray frameEvents;
+	private final IntArray frameChanges;
+	private final LongArray frameAllocations;
+
+	public ReplayingComparison(InputRecording recording, Timing timing, File reportFile) {
+		this.recording = recording;
+		this.timing = timing;
+		this.reportFile = reportFile;
+
+		// Sized up front so growing them doesn't show up in the measured allocations.
+		int expectedFrames = recording.events.size + 1;
+		if (timing == Timing.FIXED && recording.events.size > 0)
+			expectedFrames = recording.events.peek().frame + 1;
+		frameNanos = new LongArray(expectedFrames);
+		frameIntervals = new LongArray(expectedFrames);
+		frameEvents = new IntArray(expectedFrames);
+		frameChanges = new IntArray(expectedFrames);
+		frameAllocations = new LongArray(expectedFrames);
+	}
+
+	@Override
+	public void create() {
+		super.create();
+		if (Gdx.graphics.getWidth() != recording.width || Gdx.graphics.getHeight() != recording.height) {
+			Gdx.app.error("Replay", "Window is " + Gdx.graphics.getWidth() + "x" + Gdx.graphics.getHeight() +
+					" but recording was made at " + recording.width + "x" + recording.height +
+					". Touch coordinates will not line up.");
+		}
+
+		stageProcessor = Gdx.input.getInputProcessor();
+		if (stageProcessor instanceof Stage)
+			wrapPickerListeners(((Stage) stageProcessor).getRoot());
+		Gdx.input.setInputProcessor(null);
+
+		ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+		if (threadBean instanceof com.sun.management.ThreadMXBean
+				&& ((com.sun.management.ThreadMXBean) threadBean).isThreadAllocatedMemorySupported()) {
+			allocationBean = (com.sun.management.ThreadMXBean) threadBean;
+			allocationBean.setThreadAllocatedMemoryEnabled(true);
+		} else {
+			Gdx.app.error("Replay", "Thread allocation tracking is not supported by this JVM.");
+		}
+
+		// OS character repeats were recorded as keyTyped events, so a live repeat task would double them up. The text
+		// field's own arrow/Home/End repeat runs on the Timer without passing through the InputProcessor, so it was
+		// never recorded and is lost here.
+		if (timing == Timing.FIXED)
+			Timer.instance().stop();
+
+		Gdx.graphics.setContinuousRendering(true);
+	}
+
+	private void wrapPickerListeners(Group group) {
+		for (Actor actor : group.getChildren()) {
+			if (actor instanceof BasicColorPicker2) {
+				BasicColorPicker2 picker = (BasicColorPicker2) actor;
+				picker.setListener(new CountingListener(picker.getListener()));
+			} else if (actor instanceof Group) {
+				wrapPickerListeners((Group) actor);
+			}
+		}
+	}
+
+	@Override
+	public void render() {
+		if (finished) {
+			super.render();
+			return;
+		}
+		if (!primed) {
+			// Widgets are only laid out when drawn, so the first recorded touch would hit nothing without an untimed
+			// frame ahead of it.
+			super.render();
+			primed = true;
+			startNanos = System.nanoTime();
+			return;
+		}
+
+		long allocatedBefore = allocatedBytes();
+		int changedBefore = changedCount;
+		long frameStart = System.nanoTime();
+
+		int dispatched = dispatchDueEvents(frameStart);
+		super.render();
+
+		long frameEnd = System.nanoTime();
+		long allocatedAfter = allocatedBytes();
+		frameNanos.add(frameEnd - frameStart);
+		frameIntervals.add(lastFrameStart == 0 ? 0 : frameStart - lastFrameStart);
+		lastFrameStart = frameStart;
+		frameEvents.add(dispatched);
+		frameChanges.add(changedCount - changedBefore);
+		frameAllocations.add(allocationBean == null ? -1 : allocatedAfter - allocatedBefore);
+
+		if (nextEvent >= recording.events.size) {
+			finished = true;
+			writeReport();
+			logSummary();
+			Gdx.app.exit();
+		}
+	}
+
+	@Override
+	protected float getActDelta() {
+		return timing == Timing.FIXED ? FIXED_STEP : super.getActDelta();
+	}
+
+	private int dispatchDueEvents(long now) {
+		int dispatched = 0;
+		if (timing == Timing.FIXED) {
+			while (nextEvent < recording.events.size && recording.events.get(nextEvent).frame <= fixedFrame) {
+				recording.events.get(nextEvent++).dispatch(stageProcessor);
+				dispatched++;
+			}
+			fixedFrame++;
+		} else {
+			while (nextEvent < recording.events.size) {
+				Event event = recording.events.get(nextEvent);
+				if (event.nanos > now - startNanos)
+					break;
+				event.dispatch(stageProcessor);
+				nextEvent++;
+				dispatched++;
+			}
+		}
+		return dispatched;
+	}
+
+	private long allocatedBytes() {
+		return allocationBean == null ? 0 : allocationBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+
+	private void writeReport() {
+		try (BufferedWriter writer = new BufferedWriter(new FileWriter(reportFile))) {
+			writer.write("frame,nanos,intervalNanos,inputEvents,changedCalls,allocatedBytes");
+			writer.newLine();
+			for (int i = 0; i < frameNanos.size; i++) {
+				writer.write(i + "," + frameNanos.get(i) + "," + frameIntervals.get(i) + "," +
+						frameEvents.get(i) + "," + frameChanges.get(i) + "," + frameAllocations.get(i));
+				writer.newLine();
+			}
+		} catch (IOException e) {
+			throw new GdxRuntimeException("Could not write replay report: " + reportFile, e);
+		}
+	}
+
+	private void logSummary() {
+		long totalAllocated = 0;
+		for (int i = 0; i < frameAllocations.size; i++) {
+			totalAllocated += frameAllocations.get(i);
+		}
+
+		Gdx.app.log("Replay", recording.events.size + " events over " + frameNanos.size + " frames (" + timing +
+				" timing)");
+		logDistribution("render ms", frameNanos, 0);
+		// The first frame has no predecessor, so it has no interval.
+		logDistribution("interval ms", frameIntervals, 1);
+		Gdx.app.log("Replay", "listener.changed calls: " + changedCount);
+		Gdx.app.log("Replay", allocationBean == null ? "allocated bytes: unavailable" :
+				"allocated bytes: " + totalAllocated);
+		Gdx.app.log("Replay", "Per-frame report written to " + reportFile);
+	}
+
+	private static void logDistribution(String label, LongArray nanos, int from) {
+		if (nanos.size <= from)
+			return;
+		long[] sorted = Arrays.copyOfRange(nanos.items, from, nanos.size);
+		Arrays.sort(sorted);
+		long total = 0;
+		for (long value : sorted) {
+			total += value;
+		}
+		Gdx.app.log("Replay", String.format("%s: mean %.3f, p50 %.3f, p95 %.3f, p99 %.3f, max %.3f",
+				label, total / 1e6 / sorted.length, percentile(sorted, 0.5f), percentile(sorted, 0.95f),
+				percentile(sorted, 0.99f), sorted[sorted.length - 1] / 1e6));
+	}
+
+	private static double percentile(long[] sorted, float fraction) {
+		int index = Math.min(sorted.length - 1, (int) Math.ceil(fraction * sorted.length) - 1);
+		return sorted[Math.max(0, index)] / 1e6;
+	}
+
+	private class CountingListener implements ColorPickerListener {
+		private final ColorPickerListener delegate;
+
+		CountingListener(ColorPickerListener delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public void changed(Color newColor) {
+			changedCount++;
+			if (delegate != null) delegate.changed(newColor);
+		}
+
+		@Override
+		public void canceled(Color oldColor) {
+			if (delegate != null) delegate.canceled(oldColor);
+		}
+
+		@Override
+		public void reset(Color previousColor, Color newColor) {
+			if (delegate != null) delegate.reset(previousColor, newColor);
+		}
+
+		@Override
+		public void finished(Color newColor) {
+			if (delegate != null) delegate.finished(newColor);
+		}
+	}
+}